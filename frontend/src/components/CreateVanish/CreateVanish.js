@@ -82,8 +82,12 @@ const CreateVanish = ({ setError, setLoading, loading, error }) => {
         body: formData,
       });
 
-      if (response.status === 413) {
-        setError('File size too large. Maximum file size is 10MB.');
+      if (response.status === 413 || response.status === 415) {
+        const data = await response.json().catch(() => ({}));
+        const fallback = response.status === 413
+          ? 'File size too large. Maximum file size is 10MB.'
+          : 'This file type does not match its contents.';
+        setError(data.message || fallback);
       }
       else if (response.ok) {
         const data = await response.json();
@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Measures time-to-first-request and RSS for one startup mode.
+#
+#   ./scripts/startup-bench.sh jvm
+#   ./scripts/startup-bench.sh aot
+#   ./scripts/startup-bench.sh cds
+#
+# Run the matching build first (see "Fast Startup Builds" in README.md).
+# Uses the prod profile (in-memory H2) so no MySQL is needed.
+
+set -euo pipefail
+
+MODE=${1:-jvm}
+PORT=${PORT:-8080}
+JAR=$(ls target/*-SNAPSHOT.jar | head -n 1)
+LOG="$PWD/target/startup-$MODE.log"
+WORKDIR=.
+
+export SPRING_PROFILES_ACTIVE=prod
+export CLOUDINARY_CLOUD_NAME=${CLOUDINARY_CLOUD_NAME:-bench}
+export CLOUDINARY_API_KEY=${CLOUDINARY_API_KEY:-bench}
+export CLOUDINARY_API_SECRET=${CLOUDINARY_API_SECRET:-bench}
+
+case "$MODE" in
+  jvm)    CMD=(java -jar "$JAR") ;;
+  aot)    CMD=(java -Dspring.aot.enabled=true -jar "$JAR") ;;
+  # the archive only loads with the same classpath it was trained on, so run from target/cds
+  cds)    WORKDIR=target/cds; CMD=(java -XX:SharedArchiveFile=vanishink.jsa -Dspring.aot.enabled=true -jar vanishink.jar) ;;
+  *) echo "unknown mode: $MODE (jvm|aot|cds)"; exit 1 ;;
+esac
+
+START=$(date +%s%N)
+(cd "$WORKDIR" && exec "${CMD[@]}" --server.port="$PORT") > "$LOG" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null' EXIT
+
+# any HTTP status (a 404 for an unknown id is fine) means the app is serving
+until curl -s -o /dev/null "http://localhost:$PORT/api/vanish/startup-probe"; do
+  if ! kill -0 $PID 2>/dev/null; then
+    echo "$MODE: process exited, see $LOG"; exit 1
+  fi
+  sleep 0.05
+done
+END=$(date +%s%N)
+
+RSS_KB=$(awk '/VmRSS/ {print $2}' /proc/$PID/status)
+echo "$MODE: time-to-first-request $(( (END - START) / 1000000 )) ms, RSS $(( RSS_KB / 1024 )) MB"
@@ -1,14 +1,20 @@
 package in.sb.vink.config;
 
 import com.cloudinary.Cloudinary;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 import java.util.HashMap;
 import java.util.Map;
 
 @Configuration
+@ImportRuntimeHints(CloudinaryConfig.CloudinaryRuntimeHints.class)
 public class CloudinaryConfig {
 
     @Value("${cloudinary.cloud-name}")
@@ -29,4 +35,17 @@ public class CloudinaryConfig {
         config.put("secure", "true"); // Use HTTPS
         return new Cloudinary(config);
     }
-}
\ No newline at end of file
+
+    // The SDK picks its HTTP strategies with Class.forName(...).newInstance(),
+    // which AOT/native tooling can't see without these hints.
+    static class CloudinaryRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(TypeReference.of("com.cloudinary.http44.UploaderStrategy"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(TypeReference.of("com.cloudinary.http44.ApiStrategy"),
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
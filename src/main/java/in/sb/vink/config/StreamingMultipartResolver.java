@@ -0,0 +1,192 @@
+package in.sb.vink.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.fileupload2.core.DiskFileItem;
+import org.apache.commons.fileupload2.core.DiskFileItemFactory;
+import org.apache.commons.fileupload2.core.FileItemInput;
+import org.apache.commons.fileupload2.core.FileItemInputIterator;
+import org.apache.commons.fileupload2.jakarta.servlet6.JakartaServletFileUpload;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileCopyUtils;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.MultipartResolver;
+import org.springframework.web.multipart.support.DefaultMultipartHttpServletRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import in.sb.vink.exception.UploadRejectedException;
+import in.sb.vink.service.FileValidationService;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Replaces Spring Boot's StandardServletMultipartResolver, which lets Tomcat spool
+// every part to disk before anything can look at it. Here the request body is read
+// part by part straight off the socket: the first bytes of each file are sniffed
+// before the rest is read, and per-file / per-request byte counts are enforced in
+// the same pass, so a bad upload is refused after reading only what it took to spot it.
+// Accepted files are kept in memory (bounded by the limits below); they're sent
+// to Cloudinary as byte arrays anyway.
+@Component(DispatcherServlet.MULTIPART_RESOLVER_BEAN_NAME)
+public class StreamingMultipartResolver implements MultipartResolver {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Value("${spring.servlet.multipart.max-file-size}")
+    private DataSize maxFileSize;
+
+    @Value("${spring.servlet.multipart.max-request-size}")
+    private DataSize maxRequestSize;
+
+    @Autowired
+    private FileValidationService fileValidationService;
+
+    @Override
+    public boolean isMultipart(HttpServletRequest request) {
+        return JakartaServletFileUpload.isMultipartContent(request);
+    }
+
+    @Override
+    public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+        // nothing read yet - refuse a body that already announces itself as too big
+        if (request.getContentLengthLong() > maxRequestSize.toBytes()) {
+            throw requestTooLarge();
+        }
+
+        JakartaServletFileUpload<DiskFileItem, DiskFileItemFactory> upload = new JakartaServletFileUpload<>();
+        upload.setHeaderCharset(StandardCharsets.UTF_8);
+
+        MultiValueMap<String, MultipartFile> files = new LinkedMultiValueMap<>();
+        Map<String, String[]> params = new LinkedHashMap<>();
+        long requestBytes = 0;
+
+        try {
+            FileItemInputIterator items = upload.getItemIterator(request);
+            while (items.hasNext()) {
+                FileItemInput item = items.next();
+                // deliberately not closed: closing an item stream drains the rest of the part,
+                // which is exactly what a rejection must avoid (a fully read one is already at EOF)
+                InputStream in = item.getInputStream();
+                long remaining = maxRequestSize.toBytes() - requestBytes;
+
+                if (item.isFormField()) {
+                    byte[] value = read(in, new byte[0], Long.MAX_VALUE, remaining, item.getFieldName());
+                    requestBytes += value.length;
+                    String[] existing = params.getOrDefault(item.getFieldName(), new String[0]);
+                    params.put(item.getFieldName(), StringUtils.addStringToArray(existing,
+                            new String(value, StandardCharsets.UTF_8)));
+                    continue;
+                }
+
+                // sniff before reading (or buffering) anything past the first few bytes
+                byte[] head = in.readNBytes(FileValidationService.SNIFF_LENGTH);
+                String contentType = fileValidationService.validate(item.getName(), item.getContentType(), head);
+
+                byte[] content = read(in, head, maxFileSize.toBytes(), remaining, item.getName());
+                requestBytes += content.length;
+                files.add(item.getFieldName(),
+                        new StreamedMultipartFile(item.getFieldName(), item.getName(), contentType, content));
+            }
+        } catch (IOException e) {
+            throw new MultipartException("Failed to parse multipart request", e);
+        }
+
+        return new DefaultMultipartHttpServletRequest(request, files, params, new HashMap<>());
+    }
+
+    @Override
+    public void cleanupMultipart(MultipartHttpServletRequest request) {
+        // nothing to clean up - no part is ever written to disk
+    }
+
+    // copies the rest of a part after `head`, aborting as soon as either limit is crossed
+    private byte[] read(InputStream in, byte[] head, long fileLimit, long requestRemaining, String name)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(head);
+        long total = head.length;
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+        do {
+            if (total > fileLimit) {
+                throw new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "FILE_TOO_LARGE",
+                        name + " exceeds the " + describe(maxFileSize) + " per-file limit.");
+            }
+            if (total > requestRemaining) {
+                throw requestTooLarge();
+            }
+            n = in.read(buffer);
+            if (n > 0) {
+                out.write(buffer, 0, n);
+                total += n;
+            }
+        } while (n != -1);
+        return out.toByteArray();
+    }
+
+    private UploadRejectedException requestTooLarge() {
+        return new UploadRejectedException(HttpStatus.PAYLOAD_TOO_LARGE, "PAYLOAD_TOO_LARGE",
+                "Request exceeds the " + describe(maxRequestSize) + " limit.");
+    }
+
+    private static String describe(DataSize size) {
+        return size.toMegabytes() > 0 ? size.toMegabytes() + "MB" : size.toKilobytes() + "KB";
+    }
+
+    private static class StreamedMultipartFile implements MultipartFile {
+
+        private final String name;
+        private final String originalFilename;
+        private final String contentType;
+        private final byte[] content;
+
+        StreamedMultipartFile(String name, String originalFilename, String contentType, byte[] content) {
+            this.name = name;
+            this.originalFilename = originalFilename;
+            this.contentType = contentType;
+            this.content = content;
+        }
+
+        @Override
+        public String getName() { return name; }
+
+        @Override
+        public String getOriginalFilename() { return originalFilename; }
+
+        // the sniffed type, not the one the client sent
+        @Override
+        public String getContentType() { return contentType; }
+
+        @Override
+        public boolean isEmpty() { return content.length == 0; }
+
+        @Override
+        public long getSize() { return content.length; }
+
+        @Override
+        public byte[] getBytes() { return content; }
+
+        @Override
+        public InputStream getInputStream() { return new ByteArrayInputStream(content); }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            FileCopyUtils.copy(content, dest);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package in.sb.vink.controller;
+
+// JSON body returned for rejected requests, e.g. {"code": "FILE_TOO_LARGE", "message": "..."}
+public class ErrorResponse {
+
+    private String code;
+    private String message;
+
+    public ErrorResponse(String code, String message) {
+        this.code = code;
+        this.message = message;
+    }
+
+    public String getCode() { return code; }
+    public void setCode(String code) { this.code = code; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
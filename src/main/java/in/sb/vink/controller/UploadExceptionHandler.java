@@ -0,0 +1,32 @@
+package in.sb.vink.controller;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.multipart.MultipartException;
+
+import in.sb.vink.exception.UploadRejectedException;
+
+@RestControllerAdvice
+public class UploadExceptionHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(UploadExceptionHandler.class);
+
+    // truncated body, bad boundary, client gone mid-upload...
+    @ExceptionHandler(MultipartException.class)
+    public ResponseEntity<ErrorResponse> handleMultipart(MultipartException e) {
+        logger.warn("Malformed multipart request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(new ErrorResponse("MALFORMED_MULTIPART", "Could not read the uploaded form data."));
+    }
+
+    @ExceptionHandler(UploadRejectedException.class)
+    public ResponseEntity<ErrorResponse> handleUploadRejected(UploadRejectedException e) {
+        logger.warn("Upload rejected ({}): {}", e.getCode(), e.getMessage());
+        return ResponseEntity.status(e.getStatus())
+                .body(new ErrorResponse(e.getCode(), e.getMessage()));
+    }
+}
@@ -33,8 +33,6 @@ public class VanishController {
 	
 	private static final Logger logger = LoggerFactory.getLogger(VanishController.class);
 
-	private static final long MAX_FILE_SIZE = 10 * 1024 * 1024; // 10MB
-	
     @Autowired
     private VanishService vanishService;
     
@@ -42,7 +40,7 @@ public class VanishController {
     private Cloudinary cloudinary;
     
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<VanishResponse> createVanish(
+    public ResponseEntity<?> createVanish(
             @RequestParam(value = "title", required = false) String title,
             @RequestParam(value = "content", required = false) String content,
             @RequestParam(value = "expiryTime", required = false, defaultValue = "1h") String expiryTime,
@@ -51,14 +49,7 @@ public class VanishController {
 
         try {
         	
-        	if (files != null && files.length > 0) {
-                for (MultipartFile file : files) {
-                    if (file.getSize() > MAX_FILE_SIZE) {
-                        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE)
-                                .body(null);
-                    }
-                }
-            }
+        	// size limits and content sniffing already ran in StreamingMultipartResolver
             Vanish vanish = new Vanish();
             vanish.setTitle(title); 
             vanish.setIsOneTime(Boolean.TRUE.equals(isOneTime)); 
@@ -96,7 +87,8 @@ public class VanishController {
                             
                         } catch (IOException e) {
                             logger.error("Error uploading file: {}", file.getOriginalFilename(), e);
-                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+                            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                                    .body(new ErrorResponse("UPLOAD_FAILED", "Could not upload " + file.getOriginalFilename()));
                         }
                     }
                 }
@@ -124,7 +116,8 @@ public class VanishController {
 
         } catch (Exception e) {
         	logger.error("Error creating vanish", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ErrorResponse("INTERNAL_ERROR", "Failed to create the Vanish."));
         }
     }
     
@@ -0,0 +1,20 @@
+package in.sb.vink.exception;
+
+import org.springframework.http.HttpStatus;
+
+// thrown when an upload is refused before it reaches Cloudinary
+public class UploadRejectedException extends RuntimeException {
+
+    private final HttpStatus status;
+    private final String code;
+
+    public UploadRejectedException(HttpStatus status, String code, String message) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+
+    public HttpStatus getStatus() { return status; }
+
+    public String getCode() { return code; }
+}
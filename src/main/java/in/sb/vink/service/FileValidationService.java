@@ -0,0 +1,125 @@
+package in.sb.vink.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import in.sb.vink.exception.UploadRejectedException;
+
+@Service
+public class FileValidationService {
+
+    // enough bytes to cover every signature below (BMP's DIB header size ends at 18)
+    public static final int SNIFF_LENGTH = 32;
+
+    private static final String OCTET_STREAM = "application/octet-stream";
+
+    private static final String SVG = "image/svg+xml";
+
+    // declared types whose signature we know; a mismatch on these is refused
+    private static final Set<String> VERIFIABLE_TYPES = Set.of(
+            "image/png", "image/jpeg", "image/gif", "image/webp", "image/bmp", "application/pdf");
+
+    // BITMAPCOREHEADER, BITMAPINFOHEADER and its V2-V5 successors
+    private static final Set<Integer> BMP_DIB_HEADER_SIZES = Set.of(12, 40, 52, 56, 64, 108, 124);
+
+    /**
+     * Checks the leading bytes of an uploaded part and returns the MIME type to store.
+     * Types we can recognise by signature win over whatever the client declared; a
+     * declared type we can verify that doesn't match is refused. Anything else
+     * (e.g. image/heic from an older encoder) is passed through as declared.
+     *
+     * Called by StreamingMultipartResolver with the first SNIFF_LENGTH bytes of the
+     * part, before the rest of it has been read.
+     */
+    public String validate(String originalFilename, String declaredType, byte[] head) {
+        String sniffed = sniffContentType(head);
+        String declared = normalize(declaredType);
+
+        if (sniffed != null) {
+            return sniffed;
+        }
+        if (declared != null && (VERIFIABLE_TYPES.contains(declared)
+                || (declared.equals(SVG) && !looksLikeText(head)))) {
+            throw new UploadRejectedException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "CONTENT_TYPE_MISMATCH",
+                    originalFilename + " is not a valid " + declared + " file.");
+        }
+        if (declared == null || declared.equals(OCTET_STREAM)) {
+            return looksLikeText(head) ? "text/plain" : OCTET_STREAM;
+        }
+        return declared;
+    }
+
+    // "IMAGE/PNG; foo=bar" -> "image/png"; null when missing or unparseable
+    private String normalize(String declaredType) {
+        if (declaredType == null || declaredType.isBlank()) {
+            return null;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(declaredType);
+            return mediaType.getType() + "/" + mediaType.getSubtype();
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+    }
+
+    // magic numbers for the formats we can trust; null when nothing matches
+    String sniffContentType(byte[] head) {
+        if (startsWith(head, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) return "image/png";
+        if (startsWith(head, 0, 0xFF, 0xD8, 0xFF)) return "image/jpeg";
+        if (startsWith(head, 0, 'G', 'I', 'F', '8')) return "image/gif";
+        if (startsWith(head, 0, 'R', 'I', 'F', 'F') && startsWith(head, 8, 'W', 'E', 'B', 'P')) return "image/webp";
+        if (startsWith(head, 0, 'B', 'M') && isBmpHeader(head)) return "image/bmp";
+        if (startsWith(head, 0, 'I', 'I', '*', 0x00) || startsWith(head, 0, 'M', 'M', 0x00, '*')) return "image/tiff";
+        if (startsWith(head, 4, 'f', 't', 'y', 'p')) return sniffFtypBrand(head);
+        if (startsWith(head, 0, '%', 'P', 'D', 'F', '-')) return "application/pdf";
+        return null;
+    }
+
+    // ISO base media files: the major brand after "ftyp" tells HEIC and AVIF apart (MP4 etc. fall through)
+    private String sniffFtypBrand(byte[] head) {
+        if (head.length < 12) {
+            return null;
+        }
+        String brand = new String(head, 8, 4, StandardCharsets.US_ASCII);
+        switch (brand) {
+            case "avif": case "avis": return "image/avif";
+            case "heic": case "heix": case "heim": case "heis": return "image/heic";
+            case "mif1": case "msf1": return "image/heif";
+            default: return null;
+        }
+    }
+
+    // "BM" alone is too weak (plenty of text starts with it), so also require a known DIB header size
+    private boolean isBmpHeader(byte[] head) {
+        if (head.length < 18) {
+            return false;
+        }
+        int dibHeaderSize = (head[14] & 0xFF) | (head[15] & 0xFF) << 8 | (head[16] & 0xFF) << 16 | (head[17] & 0xFF) << 24;
+        return BMP_DIB_HEADER_SIZES.contains(dibHeaderSize);
+    }
+
+    private boolean startsWith(byte[] head, int offset, int... signature) {
+        if (head.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if ((head[offset + i] & 0xFF) != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean looksLikeText(byte[] head) {
+        if (head.length == 0) {
+            return false;
+        }
+        String s = new String(head, StandardCharsets.UTF_8);
+        return s.chars().noneMatch(c -> c == 0 || (c < 0x20 && c != '\n' && c != '\r' && c != '\t'));
+    }
+}
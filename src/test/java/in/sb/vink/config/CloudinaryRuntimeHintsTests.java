@@ -0,0 +1,32 @@
+package in.sb.vink.config;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+class CloudinaryRuntimeHintsTests {
+
+	@Test
+	void registersConstructorsForHttp44Strategies() {
+		RuntimeHints hints = new RuntimeHints();
+		new CloudinaryConfig.CloudinaryRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+		assertTrue(RuntimeHintsPredicates.reflection()
+				.onType(TypeReference.of("com.cloudinary.http44.UploaderStrategy"))
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+		assertTrue(RuntimeHintsPredicates.reflection()
+				.onType(TypeReference.of("com.cloudinary.http44.ApiStrategy"))
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+	}
+
+	@Test
+	void hintedStrategiesExistAndHavePublicNoArgConstructors() throws Exception {
+		// guards against the SDK renaming the classes it loads with Class.forName
+		Class.forName("com.cloudinary.http44.UploaderStrategy").getConstructor();
+		Class.forName("com.cloudinary.http44.ApiStrategy").getConstructor();
+	}
+}
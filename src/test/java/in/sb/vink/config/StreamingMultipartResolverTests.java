@@ -0,0 +1,201 @@
+package in.sb.vink.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.DelegatingServletInputStream;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+
+import in.sb.vink.exception.UploadRejectedException;
+import in.sb.vink.service.FileValidationService;
+import jakarta.servlet.ServletInputStream;
+
+class StreamingMultipartResolverTests {
+
+	private static final String BOUNDARY = "----vanish";
+
+	private static final byte[] PNG_HEADER = { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A };
+
+	// anything past what it takes to spot the problem plus one parser buffer means we read too much
+	private static final int READ_BUDGET = 16 * 1024;
+
+	private StreamingMultipartResolver resolver;
+
+	@BeforeEach
+	void setUp() {
+		resolver = new StreamingMultipartResolver();
+		ReflectionTestUtils.setField(resolver, "maxFileSize", DataSize.ofKilobytes(64));
+		ReflectionTestUtils.setField(resolver, "maxRequestSize", DataSize.ofKilobytes(160));
+		ReflectionTestUtils.setField(resolver, "fileValidationService", new FileValidationService());
+	}
+
+	@Test
+	void resolvesFieldsAndFilesWithSniffedType() throws Exception {
+		byte[] png = Arrays.copyOf(PNG_HEADER, 1000);
+		byte[] body = new MultipartBody()
+				.field("title", "hello")
+				.file("file", "photo.jpg", "image/jpeg", png)
+				.file("file", "notes.txt", "text/plain", "some notes".getBytes(StandardCharsets.UTF_8))
+				.build();
+
+		MultipartHttpServletRequest result = resolver.resolveMultipart(new CountingRequest(body, true));
+
+		assertEquals("hello", result.getParameter("title"));
+		MultipartFile photo = result.getFiles("file").get(0);
+		assertEquals("photo.jpg", photo.getOriginalFilename());
+		assertEquals("image/png", photo.getContentType());
+		assertArrayEquals(png, photo.getBytes());
+		assertEquals("text/plain", result.getFiles("file").get(1).getContentType());
+	}
+
+	@Test
+	void mismatchedTypeIsRejectedAfterReadingOnlyTheStartOfThePart() {
+		byte[] body = new MultipartBody()
+				.file("file", "fake.png", "image/png", new byte[60 * 1024])
+				.build();
+		CountingRequest request = new CountingRequest(body, false);
+
+		UploadRejectedException e = assertThrows(UploadRejectedException.class, () -> resolver.resolveMultipart(request));
+
+		assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatus());
+		assertEquals("CONTENT_TYPE_MISMATCH", e.getCode());
+		assertTrue(request.bytesRead < READ_BUDGET, "read " + request.bytesRead + " bytes");
+	}
+
+	@Test
+	void oversizedFileIsRejectedWhileStreaming() {
+		byte[] body = new MultipartBody()
+				.file("file", "big.bin", "application/octet-stream", new byte[150 * 1024])
+				.build();
+		CountingRequest request = new CountingRequest(body, false);
+
+		UploadRejectedException e = assertThrows(UploadRejectedException.class, () -> resolver.resolveMultipart(request));
+
+		assertEquals("FILE_TOO_LARGE", e.getCode());
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, e.getStatus());
+		assertTrue(e.getMessage().contains("64KB"), e.getMessage());
+		assertTrue(request.bytesRead < 64 * 1024 + READ_BUDGET, "read " + request.bytesRead + " bytes");
+	}
+
+	@Test
+	void requestOverLimitIsRejectedWhileStreamingWithoutContentLength() {
+		byte[] chunk = new byte[60 * 1024];
+		byte[] body = new MultipartBody()
+				.file("file", "a.bin", "application/octet-stream", chunk)
+				.file("file", "b.bin", "application/octet-stream", chunk)
+				.file("file", "c.bin", "application/octet-stream", chunk)
+				.file("file", "d.bin", "application/octet-stream", chunk)
+				.build();
+		CountingRequest request = new CountingRequest(body, false);
+
+		UploadRejectedException e = assertThrows(UploadRejectedException.class, () -> resolver.resolveMultipart(request));
+
+		assertEquals("PAYLOAD_TOO_LARGE", e.getCode());
+		assertTrue(request.bytesRead < 160 * 1024 + READ_BUDGET, "read " + request.bytesRead + " bytes");
+	}
+
+	@Test
+	void requestAnnouncingOversizedBodyIsRejectedBeforeReading() {
+		byte[] body = new MultipartBody()
+				.file("file", "huge.bin", "application/octet-stream", new byte[200 * 1024])
+				.build();
+		CountingRequest request = new CountingRequest(body, true);
+
+		UploadRejectedException e = assertThrows(UploadRejectedException.class, () -> resolver.resolveMultipart(request));
+
+		assertEquals("PAYLOAD_TOO_LARGE", e.getCode());
+		assertEquals(0, request.bytesRead);
+	}
+
+	// a request whose body can only be read as a stream, counting how much of it was consumed
+	private static class CountingRequest extends MockHttpServletRequest {
+
+		private final byte[] body;
+		private long bytesRead;
+
+		CountingRequest(byte[] body, boolean withContentLength) {
+			super("POST", "/api/vanish");
+			this.body = body;
+			setContentType("multipart/form-data; boundary=" + BOUNDARY);
+			if (withContentLength) {
+				addHeader("Content-Length", body.length);
+			}
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return getHeader("Content-Length") == null ? -1 : body.length;
+		}
+
+		@Override
+		public int getContentLength() {
+			return (int) getContentLengthLong();
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			InputStream counting = new ByteArrayInputStream(body) {
+				@Override
+				public synchronized int read() {
+					int b = super.read();
+					if (b != -1) {
+						bytesRead++;
+					}
+					return b;
+				}
+
+				@Override
+				public synchronized int read(byte[] b, int off, int len) {
+					int n = super.read(b, off, len);
+					if (n > 0) {
+						bytesRead += n;
+					}
+					return n;
+				}
+			};
+			return new DelegatingServletInputStream(counting);
+		}
+	}
+
+	private static class MultipartBody {
+
+		private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		MultipartBody field(String name, String value) {
+			write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n");
+			return this;
+		}
+
+		MultipartBody file(String name, String filename, String contentType, byte[] content) {
+			write("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename
+					+ "\"\r\nContent-Type: " + contentType + "\r\n\r\n");
+			out.writeBytes(content);
+			write("\r\n");
+			return this;
+		}
+
+		byte[] build() {
+			write("--" + BOUNDARY + "--\r\n");
+			return out.toByteArray();
+		}
+
+		private void write(String s) {
+			out.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,136 @@
+package in.sb.vink.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Answers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import com.cloudinary.Cloudinary;
+
+// Runs against real Tomcat so the multipart body goes through StreamingMultipartResolver
+// (MockMvc hands the controller a pre-parsed request and would skip it).
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.servlet.multipart.max-file-size=1KB",
+		"spring.servlet.multipart.max-request-size=4KB",
+		"cloudinary.cloud-name=test",
+		"cloudinary.api-key=test",
+		"cloudinary.api-secret=test" })
+@ActiveProfiles("prod")
+class VanishControllerTests {
+
+	private static final String ORIGIN = "http://localhost:3000";
+
+	private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D };
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@MockitoBean(answers = Answers.RETURNS_DEEP_STUBS)
+	private Cloudinary cloudinary;
+
+	@Test
+	void oversizedFileReturnsFileTooLarge() {
+		ResponseEntity<Map<String, String>> response = post(form(file("big.txt", "text/plain", new byte[2048])));
+
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+		assertEquals(ORIGIN, response.getHeaders().getAccessControlAllowOrigin());
+		assertEquals("FILE_TOO_LARGE", response.getBody().get("code"));
+		assertEquals("big.txt exceeds the 1KB per-file limit.", response.getBody().get("message"));
+	}
+
+	@Test
+	void oversizedRequestReturnsPayloadTooLarge() {
+		MultiValueMap<String, Object> form = form(
+				file("a.txt", "text/plain", new byte[900]),
+				file("b.txt", "text/plain", new byte[900]),
+				file("c.txt", "text/plain", new byte[900]),
+				file("d.txt", "text/plain", new byte[900]),
+				file("e.txt", "text/plain", new byte[900]));
+
+		ResponseEntity<Map<String, String>> response = post(form);
+
+		assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+		assertEquals(ORIGIN, response.getHeaders().getAccessControlAllowOrigin());
+		assertEquals("PAYLOAD_TOO_LARGE", response.getBody().get("code"));
+		assertEquals("Request exceeds the 4KB limit.", response.getBody().get("message"));
+	}
+
+	@Test
+	void spoofedImageReturnsUnsupportedMediaType() {
+		byte[] notPng = "definitely not a png".getBytes(StandardCharsets.US_ASCII);
+
+		ResponseEntity<Map<String, String>> response = post(form(file("fake.png", "image/png", notPng)));
+
+		assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
+		assertEquals(ORIGIN, response.getHeaders().getAccessControlAllowOrigin());
+		assertEquals("CONTENT_TYPE_MISMATCH", response.getBody().get("code"));
+		assertEquals("fake.png is not a valid image/png file.", response.getBody().get("message"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void acceptedFileIsStoredWithSniffedType() throws Exception {
+		when(cloudinary.uploader().upload(any(), any())).thenReturn(Map.of("secure_url", "https://res.example/photo"));
+		MultiValueMap<String, Object> form = form(file("photo.jpg", "image/jpeg", Arrays.copyOf(PNG, 512)));
+		form.add("title", "holiday");
+
+		ResponseEntity<Map<String, String>> created = post(form);
+		assertEquals(HttpStatus.CREATED, created.getStatusCode());
+
+		Map<String, Object> vanish = restTemplate.getForObject("/api/vanish/" + created.getBody().get("url"), Map.class);
+		assertEquals("holiday", vanish.get("title"));
+		Map<String, Object> stored = ((List<Map<String, Object>>) vanish.get("files")).get(0);
+		assertEquals("image/png", stored.get("fileType"));
+		assertEquals(512, stored.get("fileSize"));
+	}
+
+	private ResponseEntity<Map<String, String>> post(MultiValueMap<String, Object> form) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+		headers.setOrigin(ORIGIN);
+		return restTemplate.exchange("/api/vanish", HttpMethod.POST, new HttpEntity<>(form, headers),
+				new ParameterizedTypeReference<Map<String, String>>() {});
+	}
+
+	@SafeVarargs
+	private static MultiValueMap<String, Object> form(HttpEntity<ByteArrayResource>... files) {
+		MultiValueMap<String, Object> form = new LinkedMultiValueMap<>();
+		for (HttpEntity<ByteArrayResource> file : files) {
+			form.add("file", file);
+		}
+		return form;
+	}
+
+	private static HttpEntity<ByteArrayResource> file(String filename, String contentType, byte[] content) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType(contentType));
+		return new HttpEntity<>(new ByteArrayResource(content) {
+			@Override
+			public String getFilename() {
+				return filename;
+			}
+		}, headers);
+	}
+}
@@ -0,0 +1,118 @@
+package in.sb.vink.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import in.sb.vink.exception.UploadRejectedException;
+
+class FileValidationServiceTests {
+
+	private static final byte[] PNG = bytes(0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 0, 0, 0, 0x0D);
+	private static final byte[] JPEG = bytes(0xFF, 0xD8, 0xFF, 0xE0, 0, 0x10, 'J', 'F', 'I', 'F');
+	private static final byte[] GIF = "GIF89a\u0001\u0000".getBytes(StandardCharsets.ISO_8859_1);
+	private static final byte[] WEBP = "RIFF$\u0000\u0000\u0000WEBPVP8 ".getBytes(StandardCharsets.ISO_8859_1);
+	// "BM", file size, reserved, pixel offset, then a 40-byte BITMAPINFOHEADER
+	private static final byte[] BMP = bytes('B', 'M', 0x3A, 0, 0, 0, 0, 0, 0, 0, 0x36, 0, 0, 0, 40, 0, 0, 0, 1, 0);
+	private static final byte[] TIFF_LE = bytes('I', 'I', '*', 0, 8, 0, 0, 0);
+	private static final byte[] TIFF_BE = bytes('M', 'M', 0, '*', 0, 0, 0, 8);
+	private static final byte[] HEIC = bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'h', 'e', 'i', 'c', 0, 0, 0, 0);
+	private static final byte[] HEIF = bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'm', 'i', 'f', '1', 0, 0, 0, 0);
+	private static final byte[] AVIF = bytes(0, 0, 0, 0x1C, 'f', 't', 'y', 'p', 'a', 'v', 'i', 'f', 0, 0, 0, 0);
+	private static final byte[] MP4 = bytes(0, 0, 0, 0x18, 'f', 't', 'y', 'p', 'i', 's', 'o', 'm', 0, 0, 0, 0);
+	private static final byte[] PDF = "%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII);
+
+	private final FileValidationService service = new FileValidationService();
+
+	@Test
+	void sniffsEachSignature() {
+		assertEquals("image/png", service.sniffContentType(PNG));
+		assertEquals("image/jpeg", service.sniffContentType(JPEG));
+		assertEquals("image/gif", service.sniffContentType(GIF));
+		assertEquals("image/webp", service.sniffContentType(WEBP));
+		assertEquals("image/bmp", service.sniffContentType(BMP));
+		assertEquals("image/tiff", service.sniffContentType(TIFF_LE));
+		assertEquals("image/tiff", service.sniffContentType(TIFF_BE));
+		assertEquals("image/heic", service.sniffContentType(HEIC));
+		assertEquals("image/heif", service.sniffContentType(HEIF));
+		assertEquals("image/avif", service.sniffContentType(AVIF));
+		assertEquals("application/pdf", service.sniffContentType(PDF));
+	}
+
+	@Test
+	void doesNotSniffUnknownOrTruncatedInput() {
+		assertNull(service.sniffContentType(new byte[0]));
+		assertNull(service.sniffContentType(Arrays.copyOf(PNG, 4)));
+		assertNull(service.sniffContentType(MP4));
+	}
+
+	@Test
+	void textStartingWithBmIsNotBitmap() {
+		byte[] csv = "BMW,Munich,1916\nAudi,Ingolstadt,1909\n".getBytes(StandardCharsets.US_ASCII);
+		assertNull(service.sniffContentType(csv));
+		assertEquals("text/csv", service.validate("cars.csv", "text/csv", csv));
+	}
+
+	@Test
+	void sniffedTypeOverridesDeclared() {
+		assertEquals("image/png", service.validate("photo.jpg", "image/jpeg", PNG));
+		assertEquals("application/pdf", service.validate("doc", "application/octet-stream", PDF));
+	}
+
+	@Test
+	void rejectsVerifiableTypeWhoseBytesDoNotMatch() {
+		UploadRejectedException e = assertThrows(UploadRejectedException.class,
+				() -> service.validate("fake.png", "image/png", "not an image".getBytes(StandardCharsets.US_ASCII)));
+		assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, e.getStatus());
+		assertEquals("CONTENT_TYPE_MISMATCH", e.getCode());
+	}
+
+	@Test
+	void declaredTypeIsComparedWithoutCaseOrParameters() {
+		byte[] junk = "not an image".getBytes(StandardCharsets.US_ASCII);
+		assertThrows(UploadRejectedException.class, () -> service.validate("a.png", "IMAGE/PNG", junk));
+		assertThrows(UploadRejectedException.class, () -> service.validate("a.png", "image/png; foo=bar", junk));
+		assertEquals("text/plain", service.validate("a.txt", "Text/Plain; charset=UTF-8", junk));
+	}
+
+	@Test
+	void unparseableDeclaredTypeIsTreatedAsMissing() {
+		assertEquals("application/octet-stream", service.validate("blob", "not a type", bytes(0, 1, 2, 3)));
+	}
+
+	@Test
+	void passesThroughImageTypesItCannotVerify() {
+		byte[] icon = bytes(0, 0, 1, 0, 1, 0, 16, 16);
+		assertEquals("image/x-icon", service.validate("favicon.ico", "image/x-icon", icon));
+	}
+
+	@Test
+	void acceptsTextualSvgAndRejectsBinarySvg() {
+		byte[] svg = "<svg xmlns=\"http://www.w3.org/2000/svg\"/>".getBytes(StandardCharsets.UTF_8);
+		assertEquals("image/svg+xml", service.validate("logo.svg", "image/svg+xml", svg));
+
+		UploadRejectedException e = assertThrows(UploadRejectedException.class,
+				() -> service.validate("logo.svg", "image/svg+xml", bytes(0, 1, 2, 3)));
+		assertEquals("CONTENT_TYPE_MISMATCH", e.getCode());
+	}
+
+	@Test
+	void fallsBackToTextOrOctetStreamWhenUndeclared() {
+		assertEquals("text/plain", service.validate("notes", null, "hello\nworld".getBytes(StandardCharsets.UTF_8)));
+		assertEquals("application/octet-stream", service.validate("blob", null, bytes(0, 1, 2, 3)));
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] result = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			result[i] = (byte) values[i];
+		}
+		return result;
+	}
+}